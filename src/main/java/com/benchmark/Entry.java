@@ -1,5 +1,6 @@
 package com.benchmark;
 
+import java.time.Duration;
 import java.time.LocalTime;
 
 import static com.benchmark.BenchmarkConstant.TIME_FORMATTER;
@@ -8,8 +9,35 @@ import static com.benchmark.BenchmarkConstant.TIME_FORMATTER;
  * Represents a single entry in the volume profile
  */
 public record Entry(LocalTime startTime, LocalTime endTime, double percentage, String type) {
+
+    /**
+     * Returns the share of this entry's percentage that falls between two time points,
+     * interpolated linearly over the overlapping seconds
+     *
+     * @param from the period start time
+     * @param to   the period end time
+     * @return the contribution of this entry to the period
+     */
+    public double overlapPercentage(LocalTime from, LocalTime to) {
+        LocalTime overlapStart = startTime.isAfter(from) ? startTime : from;
+        LocalTime overlapEnd = endTime.isBefore(to) ? endTime : to;
+        if (!overlapEnd.isAfter(overlapStart)) {
+            return 0.0;
+        }
+
+        if (overlapStart.equals(startTime) && overlapEnd.equals(endTime)) {
+            // Entry is fully contained - full percentage
+            return percentage;
+        }
+
+        // Entry is clipped by the period - partial contribution
+        long totalSeconds = Duration.between(startTime, endTime).getSeconds();
+        long includedSeconds = Duration.between(overlapStart, overlapEnd).getSeconds();
+        return percentage * includedSeconds / totalSeconds;
+    }
+
     @Override
     public String toString() {
         return String.format("[%s-%s] %.2f%% (%s)", startTime.format(TIME_FORMATTER), endTime.format(TIME_FORMATTER), percentage * 100, BucketType.valueOf(type));
     }
-}
\ No newline at end of file
+}
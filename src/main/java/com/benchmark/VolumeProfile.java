@@ -31,6 +31,12 @@ public class VolumeProfile {
     private final TreeMap<LocalTime, Entry> entryMap = new TreeMap<>();
     double totalPercentage = 0.0;
 
+    // Resolution of the CTS buckets in minutes, the GCD of their durations
+    private int bucketMinutes = 0;
+
+    // Coarse rollups keyed by grid interval in minutes, built lazily on first request
+    private final Map<Integer, VolumeRollup> rollupCache = new HashMap<>();
+
     /**
      * Constructor that loads data from a CSV file
      *
@@ -99,7 +105,7 @@ public class VolumeProfile {
         entryList.add(new Entry(LocalTime.of(9,0), LocalTime.of(9,30), percentage, "POS"));
         entryMap.put(LocalTime.of(9,0), new Entry(LocalTime.of(9,0), LocalTime.of(9,30), percentage, "POS"));
         LocalTime morningStart = LocalTime.of(9,30);
-        for (int i = 0; i <= 150; i++) {
+        for (int i = 0; i < 150; i++) {
             LocalTime current = morningStart.plusMinutes(i);
             LocalTime next = morningStart.plusMinutes(i+1);
             Entry entry = new Entry(current, next, percentage, "CTS");
@@ -109,7 +115,7 @@ public class VolumeProfile {
         entryList.add(new Entry(LocalTime.of(12,0), LocalTime.of(13,0), 0, "L"));
         entryMap.put(LocalTime.of(12,0), new Entry(LocalTime.of(12,0), LocalTime.of(13,0), 0, "L"));
         LocalTime afternoonStart = LocalTime.of(13,0);
-        for (int i = 0; i <= 180; i++) {
+        for (int i = 0; i < 180; i++) {
             LocalTime current = afternoonStart.plusMinutes(i);
             LocalTime next = afternoonStart.plusMinutes(i+1);
             Entry entry = new Entry(current, next, percentage, "CTS");
@@ -120,6 +126,8 @@ public class VolumeProfile {
         entryList.add(new Entry(LocalTime.of(16,0), LocalTime.of(16,10), percentage, "CAS"));
         entryMap.put(LocalTime.of(16,0), new Entry(LocalTime.of(16,0), LocalTime.of(16,10), percentage, "CAS"));
         totalPercentage = 1.0;
+        bucketMinutes = 1;
+        rollupCache.clear();
     }
 
     /**
@@ -182,6 +190,14 @@ public class VolumeProfile {
         entryList.add(entry);
         entryMap.put(startTime, entry);
         totalPercentage += percentage;
+        if (BucketType.CTS.name().equals(type)) {
+            bucketMinutes = gcd(bucketMinutes, (int) Duration.between(startTime, endTime).toMinutes());
+        }
+        rollupCache.clear();
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
     }
 
     /**
@@ -206,34 +222,72 @@ public class VolumeProfile {
         double cumulativeVolume = 0.0;
 
         for (Entry entry : entryList) {
-            // Skip entries entirely before startTime or after endTime
-            if (entry.endTime().isBefore(startTime) || entry.startTime().isAfter(endTime)) {
+            // Skip entries that do not overlap the period
+            if (!entry.endTime().isAfter(startTime) || !entry.startTime().isBefore(endTime)) {
                 continue;
             }
 
-            if (entry.startTime().isBefore(startTime) && entry.endTime().isAfter(startTime)) {
-                // Entry spans startTime - calculate partial contribution
-                long totalSeconds = Duration.between(entry.startTime(), entry.endTime()).getSeconds();
-                long includedSeconds = Duration.between(startTime, entry.endTime()).getSeconds();
-                if (totalSeconds > 0) {
-                    cumulativeVolume += entry.percentage() * includedSeconds / totalSeconds;
-                }
-            } else if (entry.startTime().isBefore(endTime) && entry.endTime().isAfter(endTime)) {
-                // Entry spans endTime - calculate partial contribution
-                long totalSeconds = Duration.between(entry.startTime(), entry.endTime()).getSeconds();
-                long includedSeconds = Duration.between(entry.startTime(), endTime).getSeconds();
-                if (totalSeconds > 0) {
-                    cumulativeVolume += entry.percentage() * includedSeconds / totalSeconds;
-                }
-            } else if (!entry.startTime().isBefore(startTime) && !entry.endTime().isAfter(endTime)) {
-                // Entry is fully contained - add full percentage
-                cumulativeVolume += entry.percentage();
-            }
+            cumulativeVolume += entry.overlapPercentage(startTime, endTime);
         }
 
         return cumulativeVolume;
     }
 
+    /**
+     * Returns cumulative volume profile elapsed between two time points, answered
+     * from the rollup of the given grid interval when both times are aligned to it
+     *
+     * @param startTime       the start time
+     * @param endTime         the end time
+     * @param intervalMinutes the coarse grid interval in minutes
+     * @return the cumulative volume percentage between the times
+     * @throws IllegalArgumentException if the times or the interval are invalid
+     */
+    public double getCumulativePercentage(LocalTime startTime, LocalTime endTime, int intervalMinutes) {
+        // Validate inputs
+        if (startTime == null || endTime == null) {
+            throw new IllegalArgumentException("Start time and end time cannot be null");
+        }
+
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+
+        if (intervalMinutes <= 0) {
+            throw new IllegalArgumentException("Rollup interval must be positive: " + intervalMinutes);
+        }
+
+        // A grid no coarser than the profile itself gains nothing over the fine-grained buckets
+        if (intervalMinutes > bucketMinutes) {
+            VolumeRollup rollup = getRollup(intervalMinutes);
+            if (rollup.isAligned(startTime, endTime)) {
+                return rollup.getCumulativePercentage(startTime, endTime);
+            }
+        }
+
+        // Fall back to the fine-grained buckets
+        return getCumulativePercentage(startTime, endTime);
+    }
+
+    /**
+     * Returns the rollup of this profile for the given grid interval, building it on first request
+     *
+     * @param intervalMinutes the coarse grid interval in minutes
+     * @return the cached rollup
+     * @throws IllegalArgumentException if the interval is not positive or no coarser than the profile buckets
+     */
+    public VolumeRollup getRollup(int intervalMinutes) {
+        if (intervalMinutes <= 0) {
+            throw new IllegalArgumentException("Rollup interval must be positive: " + intervalMinutes);
+        }
+
+        if (intervalMinutes <= bucketMinutes) {
+            throw new IllegalArgumentException("Rollup interval " + intervalMinutes + " is no coarser than the " + bucketMinutes + " minute profile buckets");
+        }
+
+        return rollupCache.computeIfAbsent(intervalMinutes, interval -> new VolumeRollup(interval, entryList));
+    }
+
     /**
      * Calculates normalized target percentage for a given time
      *
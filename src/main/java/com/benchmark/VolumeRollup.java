@@ -0,0 +1,151 @@
+package com.benchmark;
+
+import java.time.LocalTime;
+import java.util.*;
+
+import static com.benchmark.BenchmarkConstant.TIME_FORMATTER;
+
+/**
+ * A precomputed rollup of a volume profile onto a coarser time grid.
+ * Continuous trading sessions are cut at multiples of the grid interval,
+ * while every other session (POS, L, CAS) is kept as a single bucket so that
+ * no rollup bucket ever spans a session boundary.
+ */
+public class VolumeRollup {
+
+    private final int intervalMinutes;
+    private final List<Entry> entryList = new ArrayList<>();
+    private final Map<LocalTime, Integer> boundaryIndex = new HashMap<>();
+    // cumulativeTable[i][j] holds the cumulative percentage between boundaries i and j
+    private final double[][] cumulativeTable;
+
+    /**
+     * Builds the rollup from the fine-grained profile entries
+     *
+     * @param intervalMinutes the coarse grid interval in minutes
+     * @param fineEntries     the fine-grained profile entries, continuous and ordered by start time
+     * @throws IllegalArgumentException if the entries are not continuous
+     */
+    VolumeRollup(int intervalMinutes, List<Entry> fineEntries) {
+        this.intervalMinutes = intervalMinutes;
+
+        // Session and grid boundaries are only meaningful over a continuous profile
+        for (int i = 0; i + 1 < fineEntries.size(); i++) {
+            if (!fineEntries.get(i).endTime().equals(fineEntries.get(i + 1).startTime())) {
+                throw new IllegalArgumentException("Profile entries are not continuous at " + fineEntries.get(i).endTime().format(TIME_FORMATTER));
+            }
+        }
+
+        List<LocalTime> boundaries = new ArrayList<>();
+        List<String> types = new ArrayList<>();
+        int i = 0;
+        while (i < fineEntries.size()) {
+            // Group consecutive entries of the same type into one session
+            String type = fineEntries.get(i).type();
+            LocalTime sessionStart = fineEntries.get(i).startTime();
+            int j = i;
+            while (j + 1 < fineEntries.size() && fineEntries.get(j + 1).type().equals(type)) {
+                j++;
+            }
+            LocalTime sessionEnd = fineEntries.get(j).endTime();
+
+            if (boundaries.isEmpty()) {
+                boundaries.add(sessionStart);
+            }
+            if (BucketType.CTS.name().equals(type)) {
+                // Cut the session at every grid point it contains
+                int sessionEndMinute = sessionEnd.toSecondOfDay() / 60;
+                int nextMinute = (sessionStart.toSecondOfDay() / 60 / intervalMinutes + 1) * intervalMinutes;
+                for (; nextMinute < sessionEndMinute; nextMinute += intervalMinutes) {
+                    boundaries.add(LocalTime.ofSecondOfDay(nextMinute * 60L));
+                    types.add(type);
+                }
+            }
+            boundaries.add(sessionEnd);
+            types.add(type);
+            i = j + 1;
+        }
+
+        for (int b = 0; b < boundaries.size(); b++) {
+            boundaryIndex.put(boundaries.get(b), b);
+        }
+
+        // Accumulate from each start boundary the same way the fine-grained profile does,
+        // so that every aligned query is bit-identical to VolumeProfile.getCumulativePercentage
+        cumulativeTable = new double[boundaries.size()][boundaries.size()];
+        int first = 0;
+        for (int from = 0; from < boundaries.size(); from++) {
+            LocalTime startTime = boundaries.get(from);
+            // Start the scan at the first entry overlapping startTime
+            while (first < fineEntries.size() && !fineEntries.get(first).endTime().isAfter(startTime)) {
+                first++;
+            }
+
+            double cumulativeVolume = 0.0;
+            int k = first;
+            for (int to = from + 1; to < boundaries.size(); to++) {
+                LocalTime endTime = boundaries.get(to);
+                // Entries ending by endTime contribute the same to every later boundary
+                for (; k < fineEntries.size() && !fineEntries.get(k).endTime().isAfter(endTime); k++) {
+                    cumulativeVolume += fineEntries.get(k).overlapPercentage(startTime, endTime);
+                }
+                // An entry spanning endTime is added last, as in the fine-grained loop
+                if (k < fineEntries.size() && fineEntries.get(k).startTime().isBefore(endTime)) {
+                    cumulativeTable[from][to] = cumulativeVolume + fineEntries.get(k).overlapPercentage(startTime, endTime);
+                } else {
+                    cumulativeTable[from][to] = cumulativeVolume;
+                }
+            }
+        }
+
+        for (int b = 0; b + 1 < boundaries.size(); b++) {
+            entryList.add(new Entry(boundaries.get(b), boundaries.get(b + 1), cumulativeTable[b][b + 1], types.get(b)));
+        }
+    }
+
+    public int getIntervalMinutes() {
+        return intervalMinutes;
+    }
+
+    /**
+     * Returns the rollup buckets ordered by start time
+     *
+     * @return an unmodifiable view of the rollup buckets
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entryList);
+    }
+
+    /**
+     * Checks whether both times fall on rollup bucket boundaries
+     *
+     * @param startTime the start time
+     * @param endTime   the end time
+     * @return true if the query can be answered from the rollup
+     */
+    public boolean isAligned(LocalTime startTime, LocalTime endTime) {
+        return boundaryIndex.containsKey(startTime) && boundaryIndex.containsKey(endTime);
+    }
+
+    /**
+     * Returns cumulative volume profile elapsed between two aligned time points
+     *
+     * @param startTime the start time, on a rollup bucket boundary
+     * @param endTime   the end time, on a rollup bucket boundary
+     * @return the cumulative volume percentage between the times
+     * @throws IllegalArgumentException if the times are not aligned to the rollup
+     */
+    public double getCumulativePercentage(LocalTime startTime, LocalTime endTime) {
+        Integer from = boundaryIndex.get(startTime);
+        Integer to = boundaryIndex.get(endTime);
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Times are not aligned to the " + intervalMinutes + " minute rollup: " + startTime + " - " + endTime);
+        }
+
+        if (to <= from) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+
+        return cumulativeTable[from][to];
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.time.LocalTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -69,6 +70,16 @@ class VolumeProfileTest {
         });
     }
 
+    @Test
+    void testGetCumulativePercentage_WithinBucket() throws IOException, ValidationException {
+        String filePath = basePath + "coarse_data.csv"; // Fine buckets wider than 1 minute
+        VolumeProfile volumeProfile = new VolumeProfile(filePath);
+        assertEquals("[09:30-09:52] 9.00% (continuous trading session)", volumeProfile.getEntry("09:30"));
+        // A query inside a single bucket is clipped on both sides
+        double cumulative = volumeProfile.getCumulativePercentage(LocalTime.parse("09:40"), LocalTime.parse("09:45"));
+        assertEquals(0.09 * 5 / 22, cumulative, 1e-12);
+    }
+
     @Test
     void testGetNormalizedTargetPercent_Valid() throws IOException, ValidationException {
         String filePath = basePath + "valid_data.csv"; // Path to a valid CSV file
@@ -92,4 +103,103 @@ class VolumeProfileTest {
         String entry = volumeProfile.getEntry("09:05"); // Assuming this entry does not exist
         assertEquals("Entry not found at 09:05", entry);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetRollup_RespectsSessionBoundaries() throws IOException, ValidationException {
+        String filePath = basePath + "valid_data.csv"; // Path to a valid CSV file
+        VolumeProfile volumeProfile = new VolumeProfile(filePath);
+        VolumeRollup rollup = volumeProfile.getRollup(15);
+        // POS, 10 morning CTS, L, 12 afternoon CTS, CAS
+        assertEquals(25, rollup.getEntries().size());
+        assertEquals("[09:00-09:30] 4.12% (pre open session)", rollup.getEntries().get(0).toString());
+        assertEquals(LocalTime.parse("09:45"), rollup.getEntries().get(1).endTime());
+        assertSame(rollup, volumeProfile.getRollup(15));
+    }
+
+    @Test
+    void testGetCumulativePercentage_Rollup() throws IOException, ValidationException {
+        String filePath = basePath + "valid_data.csv"; // Path to a valid CSV file
+        VolumeProfile volumeProfile = new VolumeProfile(filePath);
+        assertRollupConsistent(volumeProfile, new int[]{5, 7, 15, 30, 45, 60, 120});
+        // Unaligned queries fall back to the fine-grained buckets
+        assertEquals(volumeProfile.getCumulativePercentage(LocalTime.parse("09:40"), LocalTime.parse("09:50")),
+                volumeProfile.getCumulativePercentage(LocalTime.parse("09:40"), LocalTime.parse("09:50"), 30));
+    }
+
+    @Test
+    void testGetCumulativePercentage_RollupCoarseBuckets() throws IOException, ValidationException {
+        String filePath = basePath + "coarse_data.csv"; // Fine buckets wider than 1 minute, off the grid
+        VolumeProfile volumeProfile = new VolumeProfile(filePath);
+        assertRollupConsistent(volumeProfile, new int[]{5, 15, 30, 45, 60, 90, 120});
+    }
+
+    @Test
+    void testGetRollup_UnalignedTime() throws IOException, ValidationException {
+        String filePath = basePath + "valid_data.csv"; // Path to a valid CSV file
+        VolumeProfile volumeProfile = new VolumeProfile(filePath);
+        VolumeRollup rollup = volumeProfile.getRollup(15);
+        assertFalse(rollup.isAligned(LocalTime.parse("09:40"), LocalTime.parse("10:00")));
+        assertThrows(IllegalArgumentException.class, () -> {
+            rollup.getCumulativePercentage(LocalTime.parse("09:40"), LocalTime.parse("10:00"));
+        });
+    }
+
+    @Test
+    void testGetRollup_NoCoarserThanProfile() throws IOException, ValidationException {
+        String filePath = basePath + "valid_data.csv"; // 1 minute CTS buckets
+        VolumeProfile volumeProfile = new VolumeProfile(filePath);
+        assertThrows(IllegalArgumentException.class, () -> {
+            volumeProfile.getRollup(1);
+        });
+        // The scheduler-facing query falls back to the fine-grained buckets instead
+        assertEquals(volumeProfile.getCumulativePercentage(LocalTime.parse("09:30"), LocalTime.parse("10:00")),
+                volumeProfile.getCumulativePercentage(LocalTime.parse("09:30"), LocalTime.parse("10:00"), 1));
+    }
+
+    @Test
+    void testGetRollup_InvalidatedOnNewEntry() throws IOException, ValidationException {
+        String filePath = basePath + "valid_data.csv"; // Path to a valid CSV file
+        VolumeProfile volumeProfile = new VolumeProfile(filePath);
+        VolumeRollup rollup = volumeProfile.getRollup(15);
+        volumeProfile.parseAndAddEntry("16:10,16:20,0.0,CAS", 2);
+        VolumeRollup rebuilt = volumeProfile.getRollup(15);
+        assertNotSame(rollup, rebuilt);
+        assertEquals(LocalTime.parse("16:20"), rebuilt.getEntries().get(rebuilt.getEntries().size() - 1).endTime());
+    }
+
+    @Test
+    void testGetRollup_NotContinuous() throws IOException, ValidationException {
+        String filePath = basePath + "valid_data.csv"; // Path to a valid CSV file
+        VolumeProfile volumeProfile = new VolumeProfile(filePath);
+        volumeProfile.parseAndAddEntry("17:00,17:10,0.0,CAS", 2); // Gap after 16:10
+        assertThrows(IllegalArgumentException.class, () -> {
+            volumeProfile.getRollup(15);
+        });
+    }
+
+    @Test
+    void testGetRollup_InvalidInterval() throws ValidationException, IOException {
+        VolumeProfile volumeProfile = new VolumeProfile(basePath + "dummy.csv");
+        assertThrows(IllegalArgumentException.class, () -> {
+            volumeProfile.getRollup(0);
+        });
+    }
+
+    private void assertRollupConsistent(VolumeProfile volumeProfile, int[] intervals) {
+        for (int interval : intervals) {
+            VolumeRollup rollup = volumeProfile.getRollup(interval);
+            List<Entry> entries = rollup.getEntries();
+            assertEquals(1.0, entries.stream().mapToDouble(Entry::percentage).sum(), 0.0001);
+            for (Entry start : entries) {
+                for (Entry end : entries) {
+                    if (end.endTime().isAfter(start.startTime())) {
+                        assertTrue(rollup.isAligned(start.startTime(), end.endTime()));
+                        double fine = volumeProfile.getCumulativePercentage(start.startTime(), end.endTime());
+                        assertEquals(fine, rollup.getCumulativePercentage(start.startTime(), end.endTime()));
+                        assertEquals(fine, volumeProfile.getCumulativePercentage(start.startTime(), end.endTime(), interval));
+                    }
+                }
+            }
+        }
+    }
+}